@@ -1,9 +1,11 @@
 package com.covid19.api;
 
+import org.springframework.context.annotation.Lazy;
 import org.springframework.web.bind.annotation.*;
 import java.util.*;
 
 @RestController
+@Lazy(false)
 @RequestMapping("/api/v1/metrics")
 @CrossOrigin
 public class MetricsController {
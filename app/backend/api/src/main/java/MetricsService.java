@@ -1,16 +1,45 @@
 package com.covid19.api;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.support.DataAccessUtils;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.*;
 
 @Service
+@Lazy(false)
+// Chaque méthode publique lit sur un seul réplica : sinon latestDate() et la requête suivante
+// peuvent tomber sur deux réplicas avec un retard différent
+@Transactional(readOnly = true, transactionManager = "metricsTransactionManager")
 public class MetricsService {
+  // Requêtes sans paramètre : passées par un PreparedStatement (pgjdbc n'en prépare jamais
+  // côté serveur via un Statement simple), latestDate() étant appelée par presque tous les endpoints
+  private static final String LATEST_DATE_SQL = "SELECT to_char(max(date),'YYYY-MM-DD') FROM daily_stats";
+  private static final String ALL_COUNTRIES_SQL = "SELECT DISTINCT name FROM country ORDER BY name";
+
+  // SQL constant par métrique : le même texte est réutilisé et reste préparé côté serveur
+  private static final String TOP_COUNTRIES_SQL = """
+        SELECT c.name AS country, 
+               ds.cases_cum AS cases, 
+               ds.deaths_cum AS deaths
+        FROM daily_stats ds 
+        JOIN country c ON c.id = ds.country_id
+        WHERE ds.date = to_date(?, 'YYYY-MM-DD')
+        ORDER BY ds.%s DESC
+        LIMIT ?
+        """;
+  private static final String TOP_BY_CASES_SQL = TOP_COUNTRIES_SQL.formatted("cases_cum");
+  private static final String TOP_BY_DEATHS_SQL = TOP_COUNTRIES_SQL.formatted("deaths_cum");
+
   private final JdbcTemplate jdbc;
-  public MetricsService(JdbcTemplate jdbc) { this.jdbc = jdbc; }
+  // Lectures seules : routées vers les réplicas (voir ReadReplicaConfig)
+  public MetricsService(@Qualifier("metricsJdbcTemplate") JdbcTemplate jdbc) { this.jdbc = jdbc; }
 
   public String latestDate() {
-    return jdbc.queryForObject("SELECT to_char(max(date),'YYYY-MM-DD') FROM daily_stats", String.class);
+    return DataAccessUtils.nullableSingleResult(
+        jdbc.query(con -> con.prepareStatement(LATEST_DATE_SQL), (rs, i) -> rs.getString(1)));
   }
 
   public Map<String, Object> global(String date) {
@@ -72,7 +101,7 @@ public class MetricsService {
 
   public List<String> getAllCountries() {
     return jdbc.query(
-        "SELECT DISTINCT name FROM country ORDER BY name",
+        con -> con.prepareStatement(ALL_COUNTRIES_SQL),
         (rs, i) -> rs.getString("name")
     );
   }
@@ -103,18 +132,7 @@ public class MetricsService {
   // Nouvelle méthode : obtenir le top N des pays
   public List<Map<String, Object>> getTopCountries(String metric, int limit) {
     String latestDate = latestDate();
-    String orderBy = metric.equalsIgnoreCase("deaths") ? "deaths_cum" : "cases_cum";
-    
-    String sql = String.format("""
-        SELECT c.name AS country, 
-               ds.cases_cum AS cases, 
-               ds.deaths_cum AS deaths
-        FROM daily_stats ds 
-        JOIN country c ON c.id = ds.country_id
-        WHERE ds.date = to_date(?, 'YYYY-MM-DD')
-        ORDER BY ds.%s DESC
-        LIMIT ?
-        """, orderBy);
+    String sql = metric.equalsIgnoreCase("deaths") ? TOP_BY_DEATHS_SQL : TOP_BY_CASES_SQL;
     
     return jdbc.query(sql, (rs, i) -> {
       Map<String, Object> m = new LinkedHashMap<>();
@@ -0,0 +1,50 @@
+package com.covid19.api;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import java.util.*;
+
+// Exécute les requêtes chaudes avant que Spring publie ReadinessState.ACCEPTING_TRAFFIC :
+// les ApplicationRunner tournent avant l'ApplicationReadyEvent, donc /actuator/health/readiness
+// reste OUT_OF_SERVICE tant que le warm-up n'est pas terminé.
+@Component
+@Lazy(false)
+@ConditionalOnProperty(name = "metrics.warmup.enabled", havingValue = "true")
+public class MetricsWarmup implements ApplicationRunner {
+  private static final Logger log = LoggerFactory.getLogger(MetricsWarmup.class);
+
+  private final MetricsService service;
+  private final int iterations;
+
+  public MetricsWarmup(MetricsService service,
+                       @Value("${metrics.warmup.iterations:20}") int iterations) {
+    this.service = service;
+    this.iterations = iterations;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    long start = System.nanoTime();
+    try {
+      for (int i = 0; i < iterations; i++) {
+        service.global(null);
+        List<String> countries = service.getAllCountries();
+        service.getAllCountriesLatestStats();
+        service.getTopCountries("cases", 10);
+        service.getTopCountries("deaths", 10);
+        if (!countries.isEmpty()) service.countrySeries(countries.get(0), null, null);
+      }
+      log.info("Warm-up MetricsService terminé : {} itérations en {} ms",
+          iterations, (System.nanoTime() - start) / 1_000_000);
+    } catch (RuntimeException ex) {
+      // Base vide ou indisponible : on ne bloque pas le démarrage du pod
+      log.warn("Warm-up MetricsService interrompu : {}", ex.getMessage());
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package com.covid19.api;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+// Primaire déclaré explicitement (spring.datasource.*) pour pouvoir exposer à côté
+// le DataSource de lecture qui route les requêtes de MetricsService vers les réplicas.
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReadReplicaConfig {
+
+  @Bean
+  @Primary
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource dataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean(destroyMethod = "close")
+  public ReplicaRoutingDataSource metricsDataSource(HikariDataSource dataSource, ReplicaProperties replicas) {
+    List<ReplicaRoutingDataSource.Replica> targets = new ArrayList<>();
+    for (int i = 0; i < replicas.urls().size(); i++) {
+      HikariConfig config = new HikariConfig();
+      config.setPoolName("metrics-replica-" + i);
+      config.setJdbcUrl(replicas.urls().get(i));
+      config.setUsername(isBlank(replicas.username()) ? dataSource.getUsername() : replicas.username());
+      config.setPassword(isBlank(replicas.password()) ? dataSource.getPassword() : replicas.password());
+      // -1 tant que le pool primaire n'a pas démarré : on garde alors le défaut Hikari
+      if (dataSource.getMaximumPoolSize() > 0) config.setMaximumPoolSize(dataSource.getMaximumPoolSize());
+      config.setConnectionTimeout(replicas.connectionTimeout().toMillis());
+      // Même réglages pgjdbc (prepared statements) que le primaire
+      config.setDataSourceProperties(dataSource.getDataSourceProperties());
+      config.setReadOnly(true);
+      // Un réplica absent au démarrage ne doit pas empêcher l'API de démarrer
+      config.setInitializationFailTimeout(-1);
+      targets.add(new ReplicaRoutingDataSource.Replica(new HikariDataSource(config), probe(config, replicas)));
+    }
+    return new ReplicaRoutingDataSource(dataSource, targets, replicas.strategy(),
+        replicas.healthCheckInterval(), replicas.connectionTimeout());
+  }
+
+  // Déclarer metricsJdbcTemplate désactive JdbcTemplateAutoConfiguration : le JdbcTemplate
+  // injecté sans qualifier doit rester celui du primaire, seul MetricsService lit via les réplicas
+  @Bean
+  @Primary
+  public JdbcTemplate jdbcTemplate(HikariDataSource dataSource) {
+    return new JdbcTemplate(dataSource);
+  }
+
+  @Bean
+  public JdbcTemplate metricsJdbcTemplate(@Qualifier("metricsDataSource") ReplicaRoutingDataSource metricsDataSource) {
+    return new JdbcTemplate(metricsDataSource);
+  }
+
+  // Même raison côté transactions : tout bean TransactionManager désactive celui de Boot
+  @Bean
+  @Primary
+  public DataSourceTransactionManager transactionManager(HikariDataSource dataSource) {
+    return new DataSourceTransactionManager(dataSource);
+  }
+
+  // Une transaction par appel de MetricsService : toutes ses requêtes partagent la connexion
+  // (donc le réplica) choisie au début, au lieu d'un routage par requête SQL
+  @Bean
+  public DataSourceTransactionManager metricsTransactionManager(
+      @Qualifier("metricsDataSource") ReplicaRoutingDataSource metricsDataSource) {
+    return new DataSourceTransactionManager(metricsDataSource);
+  }
+
+  // Connexion directe pour le health check, bornée par le même timeout que le pool
+  private static DriverManagerDataSource probe(HikariConfig config, ReplicaProperties replicas) {
+    DriverManagerDataSource probe = new DriverManagerDataSource(config.getJdbcUrl(), config.getUsername(), config.getPassword());
+    Properties props = new Properties();
+    String timeoutSeconds = String.valueOf(Math.max(1, replicas.connectionTimeout().toSeconds()));
+    props.setProperty("connectTimeout", timeoutSeconds);
+    props.setProperty("socketTimeout", timeoutSeconds);
+    probe.setConnectionProperties(props);
+    return probe;
+  }
+
+  private static boolean isBlank(String s) { return s == null || s.isBlank(); }
+}
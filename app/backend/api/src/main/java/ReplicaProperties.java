@@ -0,0 +1,21 @@
+package com.covid19.api;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+// Réplicas en lecture utilisés par MetricsService (metrics.replicas.* dans application.yml).
+// username / password vides : on reprend ceux de spring.datasource.
+@ConfigurationProperties(prefix = "metrics.replicas")
+public record ReplicaProperties(
+    @DefaultValue List<String> urls,
+    String username,
+    String password,
+    @DefaultValue("round-robin") Strategy strategy,
+    @DefaultValue("10s") Duration healthCheckInterval,
+    @DefaultValue("2s") Duration connectionTimeout) {
+
+  public enum Strategy { ROUND_ROBIN, LEAST_CONNECTIONS }
+}
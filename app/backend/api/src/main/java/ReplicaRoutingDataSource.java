@@ -0,0 +1,138 @@
+package com.covid19.api;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// DataSource des requêtes de lecture : choisit un réplica sain (round-robin ou least-connections)
+// et retombe sur le primaire si aucun réplica ne répond.
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+  private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+  private final DataSource primary;
+  private final List<Replica> replicas;
+  private final ReplicaProperties.Strategy strategy;
+  private final int validationTimeoutSeconds;
+  private final AtomicInteger next = new AtomicInteger();
+  private final ScheduledExecutorService healthChecker;
+
+  public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas,
+                                  ReplicaProperties.Strategy strategy, Duration healthCheckInterval,
+                                  Duration connectionTimeout) {
+    this.primary = primary;
+    this.replicas = List.copyOf(replicas);
+    this.strategy = strategy;
+    this.validationTimeoutSeconds = (int) Math.max(1, connectionTimeout.toSeconds());
+    this.healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "metrics-replica-health");
+      t.setDaemon(true);
+      return t;
+    });
+    if (!this.replicas.isEmpty()) {
+      long period = healthCheckInterval.toMillis();
+      healthChecker.scheduleWithFixedDelay(this::checkHealth, period, period, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    for (Replica replica : candidates()) {
+      try {
+        return replica.pool.getConnection();
+      } catch (SQLException ex) {
+        // Pool saturé : on passe au suivant pour cette requête sans sortir le réplica de la rotation
+        if (isConnectivityFailure(ex)) markDown(replica, ex);
+      }
+    }
+    return primary.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    throw new SQLFeatureNotSupportedException("Credentials are configured per pool");
+  }
+
+  // Réplicas sains, dans l'ordre où on doit les essayer
+  List<Replica> candidates() {
+    List<Replica> healthy = replicas.stream().filter(r -> r.healthy).toList();
+    if (healthy.size() <= 1) return healthy;
+
+    if (strategy == ReplicaProperties.Strategy.LEAST_CONNECTIONS) {
+      return healthy.stream().sorted(Comparator.comparingInt(Replica::activeConnections)).toList();
+    }
+    int start = Math.floorMod(next.getAndIncrement(), healthy.size());
+    List<Replica> ordered = new ArrayList<>(healthy.size());
+    for (int i = 0; i < healthy.size(); i++) {
+      ordered.add(healthy.get((start + i) % healthy.size()));
+    }
+    return ordered;
+  }
+
+  // Sonde sur une connexion hors pool : un pool saturé ne doit pas faire échouer le health check.
+  // Aucune exception ne doit sortir : scheduleWithFixedDelay annulerait définitivement le health check
+  void checkHealth() {
+    for (Replica replica : replicas) {
+      try (Connection c = replica.probe.getConnection()) {
+        if (c.isValid(validationTimeoutSeconds)) {
+          if (!replica.healthy) log.info("Réplica {} de nouveau disponible", replica.pool.getJdbcUrl());
+          replica.healthy = true;
+        } else {
+          markDown(replica, null);
+        }
+      } catch (SQLException | RuntimeException ex) {
+        markDown(replica, ex);
+      }
+    }
+  }
+
+  // Hikari signale un timeout d'attente par une SQLTransientConnectionException ; elle ne porte
+  // une cause que si la dernière tentative de connexion vers la base a échoué
+  static boolean isConnectivityFailure(SQLException ex) {
+    return !(ex instanceof SQLTransientConnectionException) || ex.getCause() != null;
+  }
+
+  private void markDown(Replica replica, Exception ex) {
+    if (replica.healthy) {
+      log.warn("Réplica {} indisponible, bascule sur les autres / le primaire : {}",
+          replica.pool.getJdbcUrl(), ex == null ? "connexion invalide" : ex.getMessage());
+    }
+    replica.healthy = false;
+  }
+
+  @Override
+  public void close() {
+    healthChecker.shutdownNow();
+    replicas.forEach(r -> r.pool.close());
+  }
+
+  // pool : connexions des requêtes ; probe : DataSource non poolé utilisé par le health check
+  public static final class Replica {
+    final HikariDataSource pool;
+    final DataSource probe;
+    volatile boolean healthy = true;
+
+    public Replica(HikariDataSource pool, DataSource probe) {
+      this.pool = pool;
+      this.probe = probe;
+    }
+
+    int activeConnections() {
+      HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+      return mxBean == null ? 0 : mxBean.getActiveConnections();
+    }
+  }
+}
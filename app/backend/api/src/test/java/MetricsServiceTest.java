@@ -7,8 +7,13 @@ import org.mockito.Mock;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
 import org.mockito.ArgumentCaptor;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 
@@ -16,6 +21,8 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 
 @ExtendWith(MockitoExtension.class)
 class MetricsServiceTest {
@@ -30,28 +37,29 @@ class MetricsServiceTest {
     void setUp() {
     }
 
+    @SuppressWarnings("unchecked")
+    private void stubLatestDate(String date) {
+        when(jdbc.query(any(PreparedStatementCreator.class), any(RowMapper.class)))
+                .thenReturn(List.of(date));
+    }
+
     // Vérifie que latestDate() renvoie bien la date retournée par la base via JdbcTemplate
     @Test
+    @SuppressWarnings("unchecked")
     void latestDate_shouldReturnDateFromDb() {
-        when(jdbc.queryForObject(
-                anyString(),
-                eq(String.class)
-        )).thenReturn("2023-03-09");
+        stubLatestDate("2023-03-09");
 
         String result = service.latestDate();
 
         assertEquals("2023-03-09", result);
-        verify(jdbc).queryForObject(anyString(), eq(String.class));
+        verify(jdbc).query(any(PreparedStatementCreator.class), any(RowMapper.class));
     }
 
     // Vérifie que global(null) utilise latestDate() et renvoie les valeurs agrégées attendues
     @Test
     void global_withNullDate_usesLatestDateAndReturnsAggregatedValues() {
 
-        when(jdbc.queryForObject(
-                anyString(),
-                eq(String.class)
-        )).thenReturn("2023-03-09");
+        stubLatestDate("2023-03-09");
 
         when(jdbc.queryForMap(anyString(), any()))
                 .thenReturn(Map.of(
@@ -95,10 +103,7 @@ class MetricsServiceTest {
     // Vérifie que getAllCountriesLatestStats() renvoie bien la liste de maps construite à partir du JdbcTemplate
     @Test
     void getAllCountriesLatestStats_shouldReturnListFromJdbc() {
-        when(jdbc.queryForObject(
-                anyString(),
-                eq(String.class)
-        )).thenReturn("2023-03-09");
+        stubLatestDate("2023-03-09");
 
         var row1 = Map.of(
                 "country", "France",
@@ -125,8 +130,7 @@ class MetricsServiceTest {
     // Vérifie que getTopCountries("cases", ...) utilise bien ORDER BY ds.cases_cum dans le SQL et renvoie les bons pays
     @Test
     void getTopCountries_withDefaultMetric_cases_shouldUseCasesCum() {
-        when(jdbc.queryForObject(anyString(), eq(String.class)))
-                .thenReturn("2023-03-09");
+        stubLatestDate("2023-03-09");
 
         var row = Map.of(
                 "country", "France",
@@ -153,8 +157,7 @@ class MetricsServiceTest {
     // Vérifie que getTopCountries("deaths", ...) utilise bien ORDER BY ds.deaths_cum dans le SQL et renvoie les bons pays
     @Test
     void getTopCountries_withDeathsMetric_shouldUseDeathsCum() {
-        when(jdbc.queryForObject(anyString(), eq(String.class)))
-                .thenReturn("2023-03-09");
+        stubLatestDate("2023-03-09");
 
         var row = Map.of(
                 "country", "Italy",
@@ -191,4 +194,43 @@ class MetricsServiceTest {
                 service.countrySeries("Narnia", null, null)
         );
     }
+
+    // Vérifie que latestDate() passe par un PreparedStatement (préparé côté serveur par pgjdbc) et non un Statement simple
+    @Test
+    @SuppressWarnings("unchecked")
+    void latestDate_usesPreparedStatement() throws Exception {
+        stubLatestDate("2023-03-09");
+
+        service.latestDate();
+
+        ArgumentCaptor<PreparedStatementCreator> psc = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbc).query(psc.capture(), any(RowMapper.class));
+
+        Connection con = mock(Connection.class);
+        when(con.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        psc.getValue().createPreparedStatement(con);
+
+        verify(con).prepareStatement("SELECT to_char(max(date),'YYYY-MM-DD') FROM daily_stats");
+        verify(con, never()).createStatement();
+    }
+
+    // Vérifie que getAllCountries() passe aussi par un PreparedStatement
+    @Test
+    @SuppressWarnings("unchecked")
+    void getAllCountries_usesPreparedStatement() throws Exception {
+        when(jdbc.query(any(PreparedStatementCreator.class), any(RowMapper.class)))
+                .thenReturn(List.of("France", "Italy"));
+
+        assertEquals(List.of("France", "Italy"), service.getAllCountries());
+
+        ArgumentCaptor<PreparedStatementCreator> psc = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbc).query(psc.capture(), any(RowMapper.class));
+
+        Connection con = mock(Connection.class);
+        when(con.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        psc.getValue().createPreparedStatement(con);
+
+        verify(con).prepareStatement("SELECT DISTINCT name FROM country ORDER BY name");
+        verify(con, never()).createStatement();
+    }
 }
@@ -0,0 +1,54 @@
+package com.covid19.api;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsWarmupTest {
+
+    @Mock
+    MetricsService service;
+
+    // Vérifie que le warm-up appelle chaque requête chaude autant de fois que d'itérations configurées
+    @Test
+    void run_callsEveryHotQueryForEachIteration() {
+        when(service.getAllCountries()).thenReturn(List.of("France", "Italy"));
+
+        new MetricsWarmup(service, 3).run(null);
+
+        verify(service, times(3)).global(null);
+        verify(service, times(3)).getAllCountries();
+        verify(service, times(3)).getAllCountriesLatestStats();
+        verify(service, times(3)).getTopCountries("cases", 10);
+        verify(service, times(3)).getTopCountries("deaths", 10);
+        verify(service, times(3)).countrySeries("France", null, null);
+    }
+
+    // Vérifie qu'une base vide (aucun pays) ne déclenche pas de countrySeries()
+    @Test
+    void run_withNoCountries_skipsCountrySeries() {
+        when(service.getAllCountries()).thenReturn(List.of());
+
+        new MetricsWarmup(service, 2).run(null);
+
+        verify(service, never()).countrySeries(anyString(), any(), any());
+    }
+
+    // Vérifie qu'une erreur de la base n'empêche pas le démarrage de l'application
+    @Test
+    void run_whenDatabaseFails_doesNotPropagate() {
+        when(service.global(null)).thenThrow(new IllegalStateException("connection refused"));
+
+        assertDoesNotThrow(() -> new MetricsWarmup(service, 5).run(null));
+        verify(service, times(1)).global(null);
+        verify(service, never()).getAllCountries();
+    }
+}
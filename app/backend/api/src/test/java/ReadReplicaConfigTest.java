@@ -0,0 +1,99 @@
+package com.covid19.api;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadReplicaConfigTest {
+
+    // Aucune connexion ouverte : les pools Hikari ne démarrent qu'au premier getConnection()
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class, JdbcTemplateAutoConfiguration.class))
+            .withUserConfiguration(ReadReplicaConfig.class)
+            .withPropertyValues(
+                    "spring.datasource.url=jdbc:postgresql://localhost:5433/covid",
+                    "spring.datasource.username=covid",
+                    "spring.datasource.password=covid");
+
+    // Vérifie qu'un JdbcTemplate injecté sans qualifier reste branché sur le primaire
+    @Test
+    void unqualifiedJdbcTemplate_usesPrimaryDataSource() {
+        runner.run(context -> {
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            assertSame(context.getBean(HikariDataSource.class), jdbc.getDataSource());
+        });
+    }
+
+    // Vérifie que seul metricsJdbcTemplate passe par le routage vers les réplicas
+    @Test
+    void metricsJdbcTemplate_usesRoutingDataSource() {
+        runner.run(context -> {
+            JdbcTemplate jdbc = context.getBean("metricsJdbcTemplate", JdbcTemplate.class);
+            assertInstanceOf(ReplicaRoutingDataSource.class, jdbc.getDataSource());
+        });
+    }
+
+    // Vérifie qu'avec deux réplicas de retards différents chaque appel de MetricsService reste sur un seul réplica :
+    // latestDate() et la requête qui l'utilise doivent voir les mêmes données
+    @Test
+    void metricsService_withLaggingReplica_readsEachCallFromOneReplica() {
+        seed("replicaA", "2023-03-08", "2023-03-09");
+        seed("replicaB", "2023-03-08");
+
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(
+                        DataSourceAutoConfiguration.class, JdbcTemplateAutoConfiguration.class, TransactionAutoConfiguration.class))
+                .withUserConfiguration(ReadReplicaConfig.class, MetricsService.class)
+                .withPropertyValues(
+                        "spring.datasource.url=" + h2Url("replicaA"),
+                        "spring.datasource.username=sa",
+                        "metrics.replicas.urls=" + h2Url("replicaA") + "," + h2Url("replicaB"),
+                        "metrics.replicas.strategy=round-robin",
+                        "metrics.replicas.health-check-interval=1h")
+                .run(context -> {
+                    MetricsService service = context.getBean(MetricsService.class);
+                    Set<Object> globalDates = new HashSet<>();
+                    // Round-robin : des appels successifs alternent entre les deux réplicas
+                    for (int i = 0; i < 4; i++) {
+                        Map<String, Object> global = service.global(null);
+                        globalDates.add(global.get("date"));
+                    }
+                    for (int i = 0; i < 4; i++) {
+                        assertEquals(2, service.getTopCountries("cases", 10).size());
+                        assertEquals(2, service.getAllCountriesLatestStats().size());
+                        assertFalse(service.countrySeries("France", null, null).isEmpty());
+                    }
+                    // Les deux réplicas ont bien servi des lectures
+                    assertEquals(Set.of("2023-03-08", "2023-03-09"), globalDates);
+                });
+    }
+
+    private static String h2Url(String name) {
+        return "jdbc:h2:mem:" + name + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+    }
+
+    private static void seed(String name, String... dates) {
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(h2Url(name), "sa", ""));
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE country (id SERIAL PRIMARY KEY, name TEXT NOT NULL UNIQUE)");
+        jdbc.execute("CREATE TABLE daily_stats (country_id INT NOT NULL REFERENCES country(id), date DATE NOT NULL, "
+                + "cases_cum BIGINT DEFAULT 0, deaths_cum BIGINT DEFAULT 0)");
+        jdbc.update("INSERT INTO country(id, name) VALUES (1, 'France'), (2, 'Italy')");
+        for (String date : dates) {
+            jdbc.update("INSERT INTO daily_stats(country_id, date, cases_cum, deaths_cum) VALUES (1, ?, 100, 5), (2, ?, 80, 3)",
+                    java.sql.Date.valueOf(date), java.sql.Date.valueOf(date));
+        }
+    }
+}
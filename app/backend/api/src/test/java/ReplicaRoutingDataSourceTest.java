@@ -0,0 +1,203 @@
+package com.covid19.api;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    DataSource primary;
+
+    @Mock
+    HikariDataSource replicaA;
+
+    @Mock
+    HikariDataSource replicaB;
+
+    @Mock
+    DataSource probeA;
+
+    @Mock
+    DataSource probeB;
+
+    @Mock
+    Connection primaryConn;
+
+    @Mock
+    Connection connA;
+
+    @Mock
+    Connection connB;
+
+    private ReplicaRoutingDataSource routing(ReplicaProperties.Strategy strategy, HikariDataSource... replicas) {
+        List<DataSource> probes = List.of(probeA, probeB);
+        List<ReplicaRoutingDataSource.Replica> list = Arrays.stream(replicas)
+                .map(r -> new ReplicaRoutingDataSource.Replica(r, probes.get(r == replicaA ? 0 : 1)))
+                .toList();
+        return new ReplicaRoutingDataSource(primary, list, strategy, Duration.ofHours(1), Duration.ofSeconds(3));
+    }
+
+    // Vérifie que le round-robin alterne entre les réplicas sans passer par le primaire
+    @Test
+    void roundRobin_alternatesBetweenReplicas() throws SQLException {
+        when(replicaA.getConnection()).thenReturn(connA);
+        when(replicaB.getConnection()).thenReturn(connB);
+
+        try (var ds = routing(ReplicaProperties.Strategy.ROUND_ROBIN, replicaA, replicaB)) {
+            assertSame(connA, ds.getConnection());
+            assertSame(connB, ds.getConnection());
+            assertSame(connA, ds.getConnection());
+        }
+        verifyNoInteractions(primary);
+    }
+
+    // Vérifie que least-connections choisit le réplica avec le moins de connexions actives
+    @Test
+    void leastConnections_picksLeastBusyReplica() throws SQLException {
+        HikariPoolMXBean poolA = mock(HikariPoolMXBean.class);
+        HikariPoolMXBean poolB = mock(HikariPoolMXBean.class);
+        when(poolA.getActiveConnections()).thenReturn(7);
+        when(poolB.getActiveConnections()).thenReturn(2);
+        when(replicaA.getHikariPoolMXBean()).thenReturn(poolA);
+        when(replicaB.getHikariPoolMXBean()).thenReturn(poolB);
+        when(replicaB.getConnection()).thenReturn(connB);
+
+        try (var ds = routing(ReplicaProperties.Strategy.LEAST_CONNECTIONS, replicaA, replicaB)) {
+            assertSame(connB, ds.getConnection());
+        }
+        verify(replicaA, never()).getConnection();
+    }
+
+    // Vérifie la bascule sur le primaire quand le seul réplica est injoignable, puis qu'il n'est plus sollicité
+    @Test
+    void failingReplica_fallsBackToPrimaryAndIsSkipped() throws SQLException {
+        when(replicaA.getConnection()).thenThrow(new SQLException("connection refused"));
+        when(primary.getConnection()).thenReturn(primaryConn);
+
+        try (var ds = routing(ReplicaProperties.Strategy.ROUND_ROBIN, replicaA)) {
+            assertSame(primaryConn, ds.getConnection());
+            assertSame(primaryConn, ds.getConnection());
+        }
+        verify(replicaA, times(1)).getConnection();
+    }
+
+    // Vérifie qu'un pool saturé (timeout Hikari sans cause) fait basculer la requête sans sortir le réplica de la rotation
+    @Test
+    void exhaustedPool_fallsBackWithoutMarkingReplicaDown() throws SQLException {
+        when(replicaA.getConnection())
+                .thenThrow(new SQLTransientConnectionException("metrics-replica-0 - Connection is not available, request timed out after 2000ms"))
+                .thenReturn(connA);
+        when(primary.getConnection()).thenReturn(primaryConn);
+
+        try (var ds = routing(ReplicaProperties.Strategy.ROUND_ROBIN, replicaA)) {
+            assertSame(primaryConn, ds.getConnection());
+            assertSame(connA, ds.getConnection());
+        }
+        verify(replicaA, times(2)).getConnection();
+    }
+
+    // Vérifie qu'un timeout Hikari causé par un échec de connexion à la base sort bien le réplica
+    @Test
+    void poolTimeoutCausedByConnectFailure_marksReplicaDown() throws SQLException {
+        SQLException refused = new SQLException("Connection refused", "08001");
+        when(replicaA.getConnection()).thenThrow(
+                new SQLTransientConnectionException("metrics-replica-0 - Connection is not available", "08001", refused));
+        when(primary.getConnection()).thenReturn(primaryConn);
+
+        try (var ds = routing(ReplicaProperties.Strategy.ROUND_ROBIN, replicaA)) {
+            assertSame(primaryConn, ds.getConnection());
+            assertSame(primaryConn, ds.getConnection());
+        }
+        verify(replicaA, times(1)).getConnection();
+    }
+
+    // Vérifie qu'un réplica marqué indisponible revient dans la rotation après un health check réussi, sondé hors pool
+    @Test
+    void healthCheck_restoresRecoveredReplica() throws SQLException {
+        Connection probeConn = mock(Connection.class);
+        when(replicaA.getConnection())
+                .thenThrow(new SQLException("connection refused"))
+                .thenReturn(connA);
+        when(probeA.getConnection()).thenReturn(probeConn);
+        when(probeConn.isValid(anyInt())).thenReturn(true);
+        when(primary.getConnection()).thenReturn(primaryConn);
+
+        try (var ds = routing(ReplicaProperties.Strategy.ROUND_ROBIN, replicaA)) {
+            assertSame(primaryConn, ds.getConnection());
+            ds.checkHealth();
+            assertSame(connA, ds.getConnection());
+        }
+        verify(probeConn).close();
+    }
+
+    // Vérifie que le health check valide la connexion avec le connection-timeout configuré
+    @Test
+    void healthCheck_usesConfiguredValidationTimeout() throws SQLException {
+        Connection probeConn = mock(Connection.class);
+        when(probeA.getConnection()).thenReturn(probeConn);
+        when(probeConn.isValid(anyInt())).thenReturn(true);
+
+        try (var ds = routing(ReplicaProperties.Strategy.ROUND_ROBIN, replicaA)) {
+            ds.checkHealth();
+        }
+        verify(probeConn).isValid(3);
+    }
+
+    // Vérifie qu'une RuntimeException de la sonde ne sort pas du health check (elle annulerait la planification)
+    // et que les autres réplicas sont quand même vérifiés
+    @Test
+    void healthCheck_survivesRuntimeException() throws SQLException {
+        Connection probeConn = mock(Connection.class);
+        when(probeA.getConnection()).thenThrow(new IllegalStateException("driver failure"));
+        when(probeB.getConnection()).thenReturn(probeConn);
+        when(probeConn.isValid(anyInt())).thenReturn(true);
+        when(replicaB.getConnection()).thenReturn(connB);
+
+        try (var ds = routing(ReplicaProperties.Strategy.ROUND_ROBIN, replicaA, replicaB)) {
+            assertDoesNotThrow(ds::checkHealth);
+            // A est sorti de la rotation, B reste servi
+            assertSame(connB, ds.getConnection());
+            assertSame(connB, ds.getConnection());
+        }
+        verify(replicaA, never()).getConnection();
+    }
+
+    // Vérifie que le health check n'emprunte jamais de connexion au pool des requêtes
+    @Test
+    void healthCheck_doesNotBorrowFromRequestPool() throws SQLException {
+        Connection probeConn = mock(Connection.class);
+        when(probeA.getConnection()).thenReturn(probeConn);
+        when(probeConn.isValid(anyInt())).thenReturn(true);
+
+        try (var ds = routing(ReplicaProperties.Strategy.ROUND_ROBIN, replicaA)) {
+            ds.checkHealth();
+        }
+        verify(replicaA, never()).getConnection();
+    }
+
+    // Vérifie que sans réplica configuré tout part sur le primaire
+    @Test
+    void noReplicas_usesPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConn);
+
+        try (var ds = routing(ReplicaProperties.Strategy.ROUND_ROBIN)) {
+            assertSame(primaryConn, ds.getConnection());
+        }
+    }
+}